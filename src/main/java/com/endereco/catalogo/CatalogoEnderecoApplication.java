@@ -2,6 +2,7 @@ package com.endereco.catalogo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Classe principal de inicialização da aplicação Spring Boot.
@@ -9,11 +10,14 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * Esta classe contém o método main que inicia a aplicação de catálogo
  * de endereços. O Spring Boot automaticamente detectará e configurará
  * os componentes, repositories e serviços baseado nas anotações.
+ * O agendamento é habilitado para a atualização periódica do snapshot
+ * de estatísticas.
  * 
  * @author Treinamento Spring Boot
  * @version 1.0
  */
 @SpringBootApplication
+@EnableScheduling
 public class CatalogoEnderecoApplication {
 
     /**
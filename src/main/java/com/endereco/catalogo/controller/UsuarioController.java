@@ -1,14 +1,20 @@
 package com.endereco.catalogo.controller;
 
 import com.endereco.catalogo.model.Usuario;
+import com.endereco.catalogo.service.EstatisticasService;
 import com.endereco.catalogo.service.UsuarioService;
+import com.endereco.catalogo.service.UsuarioSnapshot;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -32,6 +38,13 @@ public class UsuarioController {
     @Autowired
     private UsuarioService usuarioService;
 
+    /**
+     * Serviço de estatísticas injetado automaticamente pelo Spring.
+     * Responsável pelas agregações sobre o snapshot em memória.
+     */
+    @Autowired
+    private EstatisticasService estatisticasService;
+
     /**
      * Endpoint para criar um novo usuário.
      * 
@@ -178,4 +191,70 @@ public class UsuarioController {
         long total = usuarioService.contarUsuarios();
         return ResponseEntity.ok(total);
     }
+
+    /**
+     * Endpoint para obter o histograma de idades dos usuários.
+     * 
+     * Agrupa os usuários em faixas de idade de tamanho fixo. O cálculo
+     * é feito sobre o snapshot em memória, que pode estar defasado
+     * em relação ao banco pelo intervalo de atualização configurado.
+     * 
+     * HTTP Method: GET
+     * URL: /api/usuarios/estatisticas/idades?faixa=10
+     * 
+     * @param faixa O tamanho de cada faixa em anos (padrão: 10)
+     * @return ResponseEntity com status 200 (OK) e a quantidade por faixa
+     */
+    @GetMapping("/estatisticas/idades")
+    public ResponseEntity<Map<String, Long>> obterHistogramaIdades(
+            @RequestParam(defaultValue = "10") int faixa) {
+        return ResponseEntity.ok(estatisticasService.obterHistogramaIdades(faixa));
+    }
+
+    /**
+     * Endpoint para obter a quantidade de usuários por região.
+     * 
+     * A região é o trecho "Cidade - UF" do endereço. O cálculo é
+     * feito sobre o snapshot em memória.
+     * 
+     * HTTP Method: GET
+     * URL: /api/usuarios/estatisticas/regioes
+     * 
+     * @return ResponseEntity com status 200 (OK) e a quantidade por região
+     */
+    @GetMapping("/estatisticas/regioes")
+    public ResponseEntity<Map<String, Long>> obterContagemPorRegiao() {
+        return ResponseEntity.ok(estatisticasService.obterContagemPorRegiao());
+    }
+
+    /**
+     * Endpoint para obter informações do snapshot de estatísticas.
+     * 
+     * Retorna se o snapshot já foi carregado, o momento da última
+     * atualização (nulo antes da primeira carga) e sua idade em segundos,
+     * se há escritas ainda não refletidas, o momento da última falha de
+     * atualização, a quantidade de usuários e de regiões e a memória
+     * estimada ocupada pelo snapshot.
+     * 
+     * HTTP Method: GET
+     * URL: /api/usuarios/estatisticas/snapshot
+     * 
+     * @return ResponseEntity com status 200 (OK) e os dados do snapshot
+     */
+    @GetMapping("/estatisticas/snapshot")
+    public ResponseEntity<Map<String, Object>> obterSnapshot() {
+        UsuarioSnapshot snapshot = estatisticasService.obterSnapshot();
+
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("carregado", snapshot.getGeradoEm() != null);
+        resposta.put("geradoEm", snapshot.getGeradoEm());
+        resposta.put("idadeSegundos", snapshot.getGeradoEm() == null ? null
+                : Duration.between(snapshot.getGeradoEm(), LocalDateTime.now()).getSeconds());
+        resposta.put("alteracoesPendentes", estatisticasService.possuiAlteracoesPendentes());
+        resposta.put("ultimaFalha", estatisticasService.obterUltimaFalha());
+        resposta.put("totalUsuarios", snapshot.getTotal());
+        resposta.put("totalRegioes", snapshot.getTotalRegioes());
+        resposta.put("bytesEstimados", snapshot.estimarBytes());
+        return ResponseEntity.ok(resposta);
+    }
 }
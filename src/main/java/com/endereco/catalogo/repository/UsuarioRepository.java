@@ -1,9 +1,15 @@
 package com.endereco.catalogo.repository;
 
 import com.endereco.catalogo.model.Usuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.stream.Stream;
+
 /**
  * Repositório para a entidade Usuario.
  * 
@@ -27,4 +33,19 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      * @return O usuário encontrado, ou null se não existir
      */
     Usuario findByNome(String nome);
+
+    /**
+     * Lista apenas as colunas usadas nas estatísticas.
+     * 
+     * Cada elemento contém, nesta ordem, a idade e o endereço
+     * do usuário. Evita carregar entidades completas ao gerar o
+     * snapshot colunar e lê o resultado em blocos, sem materializar
+     * a tabela inteira. Deve ser consumido dentro de uma transação
+     * e fechado após o uso.
+     * 
+     * @return Stream com os arrays [idade, endereco]
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.idade, u.endereco from Usuario u")
+    Stream<Object[]> listarColunasEstatisticas();
 }
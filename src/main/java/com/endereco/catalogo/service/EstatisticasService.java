@@ -0,0 +1,348 @@
+package com.endereco.catalogo.service;
+
+import com.endereco.catalogo.repository.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Serviço de estatísticas sobre os usuários.
+ *
+ * As consultas de relatório não varrem a tabela de usuários a cada
+ * requisição: elas são avaliadas sobre um {@link UsuarioSnapshot} colunar
+ * mantido em memória e atualizado periodicamente. As agregações dividem
+ * as colunas em blocos processados em paralelo no pool fork-join comum.
+ *
+ * @author Treinamento Spring Boot
+ * @version 1.0
+ */
+@Service
+public class EstatisticasService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EstatisticasService.class);
+
+    /**
+     * Texto usado quando não é possível identificar a região do endereço.
+     */
+    public static final String REGIAO_NAO_INFORMADA = "Não informada";
+
+    /**
+     * Formato aceito para a região: nome da cidade, hífen e sigla da UF.
+     */
+    private static final Pattern PADRAO_REGIAO =
+            Pattern.compile("(\\p{L}[\\p{L} .']*?)\\s+-\\s+([A-Z]{2})");
+
+    /**
+     * Siglas das unidades federativas aceitas no formato "Cidade - UF".
+     */
+    private static final Set<String> UFS = Set.of(
+            "AC", "AL", "AP", "AM", "BA", "CE", "DF", "ES", "GO", "MA", "MT", "MS", "MG", "PA",
+            "PB", "PR", "PE", "PI", "RJ", "RN", "RS", "RO", "RR", "SC", "SP", "SE", "TO");
+
+    /**
+     * Repositório para acesso aos dados de usuários.
+     * Injetado automaticamente pelo Spring.
+     */
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    /**
+     * Gerenciador de transações usado na leitura do snapshot.
+     * Injetado automaticamente pelo Spring.
+     */
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Snapshot atual. A troca é feita por atribuição de referência,
+     * então as consultas em andamento continuam usando o snapshot antigo.
+     */
+    private volatile UsuarioSnapshot snapshot = UsuarioSnapshot.VAZIO;
+
+    /**
+     * Indica se houve escrita na tabela de usuários desde a última carga.
+     * Começa verdadeiro para que a primeira execução sempre carregue os dados.
+     */
+    private final AtomicBoolean alterado = new AtomicBoolean(true);
+
+    /**
+     * Momento da última falha ao atualizar o snapshot, ou null se não houve falha.
+     */
+    private volatile LocalDateTime ultimaFalha;
+
+    /**
+     * Registra que a tabela de usuários foi alterada.
+     *
+     * Chamado pelo {@link UsuarioService} após cada escrita para que a
+     * próxima execução agendada regere o snapshot.
+     */
+    public void marcarAlteracao() {
+        alterado.set(true);
+    }
+
+    /**
+     * Regera o snapshot colunar a partir do banco de dados.
+     *
+     * Executado na inicialização e depois em intervalos definidos pela
+     * propriedade catalogo.estatisticas.intervalo-ms (padrão: 60 segundos).
+     * Se nenhuma escrita foi registrada desde a última carga, a tabela
+     * não é lida. Em caso de falha, o erro é registrado no log, o snapshot
+     * anterior continua em uso e a carga é tentada novamente na próxima
+     * execução.
+     */
+    @Scheduled(fixedDelayString = "${catalogo.estatisticas.intervalo-ms:60000}")
+    public void atualizarSnapshot() {
+        if (!alterado.getAndSet(false)) {
+            return;
+        }
+
+        try {
+            TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+            transacao.setReadOnly(true);
+            UsuarioSnapshot novo = transacao.execute(status -> carregarSnapshot());
+            snapshot = novo;
+            logger.debug("Snapshot de estatísticas atualizado: {} usuários, {} regiões",
+                    novo.getTotal(), novo.getTotalRegioes());
+        } catch (RuntimeException e) {
+            alterado.set(true);
+            ultimaFalha = LocalDateTime.now();
+            logger.error("Falha ao atualizar o snapshot de estatísticas", e);
+        }
+    }
+
+    /**
+     * Lê as colunas de estatísticas do banco e monta um novo snapshot.
+     *
+     * As linhas são percorridas em stream e gravadas diretamente em
+     * arrays dimensionados pela contagem da tabela, sem materializar a
+     * lista de resultados. Deve ser chamado dentro de uma transação.
+     *
+     * @return O novo snapshot
+     */
+    private UsuarioSnapshot carregarSnapshot() {
+        int capacidade = (int) usuarioRepository.count();
+        int[] idades = new int[capacidade];
+        int[] codigosRegiao = new int[capacidade];
+        Map<String, Integer> codigos = new HashMap<>();
+        List<String> dicionario = new ArrayList<>();
+        int maiorIdade = 0;
+        int total = 0;
+
+        try (Stream<Object[]> linhas = usuarioRepository.listarColunasEstatisticas()) {
+            Iterator<Object[]> iterador = linhas.iterator();
+            while (iterador.hasNext()) {
+                Object[] linha = iterador.next();
+
+                // Usuários inseridos entre a contagem e a leitura
+                if (total == idades.length) {
+                    int novaCapacidade = Math.max(16, idades.length + (idades.length >> 1));
+                    idades = Arrays.copyOf(idades, novaCapacidade);
+                    codigosRegiao = Arrays.copyOf(codigosRegiao, novaCapacidade);
+                }
+
+                idades[total] = (Integer) linha[0];
+                maiorIdade = Math.max(maiorIdade, idades[total]);
+
+                String regiao = extrairRegiao((String) linha[1]);
+                Integer codigo = codigos.get(regiao);
+                if (codigo == null) {
+                    codigo = dicionario.size();
+                    codigos.put(regiao, codigo);
+                    dicionario.add(regiao);
+                }
+                codigosRegiao[total] = codigo;
+                total++;
+            }
+        }
+
+        if (total < idades.length) {
+            idades = Arrays.copyOf(idades, total);
+            codigosRegiao = Arrays.copyOf(codigosRegiao, total);
+        }
+
+        return new UsuarioSnapshot(idades, codigosRegiao,
+                dicionario.toArray(new String[0]), maiorIdade, LocalDateTime.now());
+    }
+
+    /**
+     * Obtém o snapshot usado atualmente nas estatísticas.
+     *
+     * @return O snapshot atual
+     */
+    public UsuarioSnapshot obterSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Obtém o momento da última falha ao atualizar o snapshot.
+     *
+     * @return A data e hora da falha, ou null se nenhuma falha ocorreu
+     */
+    public LocalDateTime obterUltimaFalha() {
+        return ultimaFalha;
+    }
+
+    /**
+     * Informa se há escritas que ainda não estão refletidas no snapshot.
+     *
+     * @return true se o snapshot está desatualizado em relação ao banco
+     */
+    public boolean possuiAlteracoesPendentes() {
+        return alterado.get();
+    }
+
+    /**
+     * Calcula o histograma de idades em faixas de tamanho fixo.
+     *
+     * As chaves seguem o formato "inicio-fim" (ex: "20-29") e apenas
+     * faixas com pelo menos um usuário são retornadas.
+     *
+     * @param tamanhoFaixa A quantidade de anos de cada faixa
+     * @return Mapa ordenado com a quantidade de usuários por faixa
+     * @throws IllegalArgumentException Se o tamanho da faixa não for positivo
+     */
+    public Map<String, Long> obterHistogramaIdades(int tamanhoFaixa) {
+        if (tamanhoFaixa < 1) {
+            throw new IllegalArgumentException("O tamanho da faixa deve ser no mínimo 1");
+        }
+
+        UsuarioSnapshot atual = snapshot;
+        long[] porIdade = new ContagemTask(atual.getIdades(), 0, atual.getTotal(),
+                atual.getMaiorIdade() + 1).invoke();
+
+        Map<String, Long> histograma = new LinkedHashMap<>();
+        for (int inicio = 0; inicio < porIdade.length; inicio += tamanhoFaixa) {
+            int fim = Math.min(inicio + tamanhoFaixa, porIdade.length);
+            long quantidade = 0;
+            for (int idade = inicio; idade < fim; idade++) {
+                quantidade += porIdade[idade];
+            }
+            if (quantidade > 0) {
+                histograma.put(inicio + "-" + (inicio + tamanhoFaixa - 1), quantidade);
+            }
+        }
+        return histograma;
+    }
+
+    /**
+     * Conta os usuários por região do endereço.
+     *
+     * A região é o trecho do endereço no formato "Cidade - UF"
+     * (ex: "São Paulo - SP" em "Av. Paulista, 1000, São Paulo - SP").
+     * Endereços sem esse trecho são agrupados em {@link #REGIAO_NAO_INFORMADA}.
+     *
+     * @return Mapa com a quantidade de usuários por região, em ordem decrescente
+     */
+    public Map<String, Long> obterContagemPorRegiao() {
+        UsuarioSnapshot atual = snapshot;
+        long[] porCodigo = new ContagemTask(atual.getCodigosRegiao(), 0, atual.getTotal(),
+                atual.getTotalRegioes()).invoke();
+
+        List<Integer> codigos = new ArrayList<>();
+        for (int codigo = 0; codigo < porCodigo.length; codigo++) {
+            codigos.add(codigo);
+        }
+        codigos.sort((a, b) -> Long.compare(porCodigo[b], porCodigo[a]));
+
+        Map<String, Long> contagem = new LinkedHashMap<>();
+        for (int codigo : codigos) {
+            contagem.put(atual.getRegiao(codigo), porCodigo[codigo]);
+        }
+        return contagem;
+    }
+
+    /**
+     * Extrai a região de um endereço em formato livre.
+     *
+     * Os trechos separados por vírgula são avaliados do último para o
+     * primeiro, e o primeiro que seguir o formato "Cidade - UF" com uma
+     * UF válida é a região (ex: "Rua A, 10, Campinas - SP, 13010-000"
+     * resulta em "Campinas - SP"). Qualquer outro endereço, inclusive
+     * os que informam apenas rua e número, resulta em
+     * {@link #REGIAO_NAO_INFORMADA}.
+     *
+     * @param endereco O endereço do usuário (pode ser nulo)
+     * @return A região identificada, ou {@link #REGIAO_NAO_INFORMADA}
+     */
+    static String extrairRegiao(String endereco) {
+        if (endereco == null) {
+            return REGIAO_NAO_INFORMADA;
+        }
+        String[] trechos = endereco.split(",");
+        for (int i = trechos.length - 1; i >= 0; i--) {
+            Matcher matcher = PADRAO_REGIAO.matcher(trechos[i].trim());
+            if (matcher.matches() && UFS.contains(matcher.group(2))) {
+                return matcher.group(1) + " - " + matcher.group(2);
+            }
+        }
+        return REGIAO_NAO_INFORMADA;
+    }
+
+    /**
+     * Tarefa fork-join que conta as ocorrências de cada valor em uma
+     * coluna de inteiros no intervalo [0, cardinalidade).
+     *
+     * Intervalos maiores que {@link #LIMITE} são divididos ao meio e as
+     * contagens parciais são somadas ao final.
+     */
+    static final class ContagemTask extends RecursiveTask<long[]> {
+
+        /**
+         * Tamanho do bloco abaixo do qual a coluna é varrida sequencialmente.
+         */
+        static final int LIMITE = 64 * 1024;
+
+        private final int[] coluna;
+        private final int inicio;
+        private final int fim;
+        private final int cardinalidade;
+
+        ContagemTask(int[] coluna, int inicio, int fim, int cardinalidade) {
+            this.coluna = coluna;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.cardinalidade = cardinalidade;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (fim - inicio <= LIMITE) {
+                long[] contagem = new long[cardinalidade];
+                for (int i = inicio; i < fim; i++) {
+                    contagem[coluna[i]]++;
+                }
+                return contagem;
+            }
+
+            int meio = (inicio + fim) >>> 1;
+            ContagemTask esquerda = new ContagemTask(coluna, inicio, meio, cardinalidade);
+            ContagemTask direita = new ContagemTask(coluna, meio, fim, cardinalidade);
+            esquerda.fork();
+            long[] contagem = direita.compute();
+            long[] parcial = esquerda.join();
+            for (int i = 0; i < cardinalidade; i++) {
+                contagem[i] += parcial[i];
+            }
+            return contagem;
+        }
+    }
+}
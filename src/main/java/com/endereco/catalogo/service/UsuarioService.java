@@ -27,6 +27,13 @@ public class UsuarioService {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    /**
+     * Serviço de estatísticas, notificado a cada escrita para que
+     * o snapshot em memória seja regerado.
+     */
+    @Autowired
+    private EstatisticasService estatisticasService;
+
     /**
      * Adiciona um novo usuário ao catálogo.
      * 
@@ -45,7 +52,9 @@ public class UsuarioService {
         if (usuario.getIdade() == null) {
             throw new IllegalArgumentException("A idade do usuário é obrigatória");
         }
-        return usuarioRepository.save(usuario);
+        Usuario usuarioSalvo = usuarioRepository.save(usuario);
+        estatisticasService.marcarAlteracao();
+        return usuarioSalvo;
     }
 
     /**
@@ -119,7 +128,9 @@ public class UsuarioService {
             usuario.setEndereco(usuarioAtualizado.getEndereco());
         }
         
-        return usuarioRepository.save(usuario);
+        Usuario usuarioSalvo = usuarioRepository.save(usuario);
+        estatisticasService.marcarAlteracao();
+        return usuarioSalvo;
     }
 
     /**
@@ -136,6 +147,7 @@ public class UsuarioService {
             throw new IllegalArgumentException("Usuário com ID " + id + " não encontrado");
         }
         usuarioRepository.deleteById(id);
+        estatisticasService.marcarAlteracao();
     }
 
     /**
@@ -0,0 +1,121 @@
+package com.endereco.catalogo.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Retrato colunar e imutável dos dados de usuários usado nas estatísticas.
+ *
+ * Em vez de manter uma lista de entidades, cada atributo relevante é
+ * armazenado em um array primitivo (uma "coluna"), onde a posição i de
+ * todos os arrays corresponde ao mesmo usuário. O endereço é reduzido a
+ * uma região e codificado por dicionário: a coluna guarda apenas o
+ * código inteiro e o texto de cada região é armazenado uma única vez.
+ *
+ * @author Treinamento Spring Boot
+ * @version 1.0
+ */
+public final class UsuarioSnapshot {
+
+    /**
+     * Snapshot sem usuários, usado antes da primeira carga.
+     * Não possui data de geração.
+     */
+    public static final UsuarioSnapshot VAZIO = new UsuarioSnapshot(
+            new int[0], new int[0], new String[0], 0, null);
+
+    private final int[] idades;
+    private final int[] codigosRegiao;
+    private final String[] dicionarioRegioes;
+    private final int maiorIdade;
+    private final LocalDateTime geradoEm;
+
+    /**
+     * Construtor completo do snapshot.
+     *
+     * @param idades Coluna com as idades dos usuários
+     * @param codigosRegiao Coluna com o código da região de cada usuário
+     * @param dicionarioRegioes Texto de cada região, indexado pelo código
+     * @param maiorIdade Maior idade presente na coluna de idades
+     * @param geradoEm Momento em que o snapshot foi gerado
+     */
+    UsuarioSnapshot(int[] idades, int[] codigosRegiao, String[] dicionarioRegioes,
+                    int maiorIdade, LocalDateTime geradoEm) {
+        this.idades = idades;
+        this.codigosRegiao = codigosRegiao;
+        this.dicionarioRegioes = dicionarioRegioes;
+        this.maiorIdade = maiorIdade;
+        this.geradoEm = geradoEm;
+    }
+
+    /**
+     * Obtém a quantidade de usuários no snapshot.
+     *
+     * @return O total de linhas
+     */
+    public int getTotal() {
+        return idades.length;
+    }
+
+    int[] getIdades() {
+        return idades;
+    }
+
+    int[] getCodigosRegiao() {
+        return codigosRegiao;
+    }
+
+    /**
+     * Obtém o texto de uma região a partir do seu código.
+     *
+     * @param codigo O código da região
+     * @return O nome da região
+     */
+    public String getRegiao(int codigo) {
+        return dicionarioRegioes[codigo];
+    }
+
+    /**
+     * Obtém a quantidade de regiões distintas no dicionário.
+     *
+     * @return O tamanho do dicionário de regiões
+     */
+    public int getTotalRegioes() {
+        return dicionarioRegioes.length;
+    }
+
+    /**
+     * Obtém a maior idade presente no snapshot.
+     *
+     * @return A maior idade, ou 0 se o snapshot estiver vazio
+     */
+    public int getMaiorIdade() {
+        return maiorIdade;
+    }
+
+    /**
+     * Obtém o momento em que o snapshot foi gerado.
+     *
+     * @return A data e hora da geração, ou null se nenhuma carga foi feita
+     */
+    public LocalDateTime getGeradoEm() {
+        return geradoEm;
+    }
+
+    /**
+     * Estima a memória ocupada pelas colunas e pelo dicionário.
+     *
+     * Considera 4 bytes por idade e por código de região,
+     * e 2 bytes por caractere das regiões (mais o cabeçalho aproximado
+     * de cada String).
+     *
+     * @return A estimativa em bytes
+     */
+    public long estimarBytes() {
+        long bytes = (long) idades.length * Integer.BYTES
+                + (long) codigosRegiao.length * Integer.BYTES;
+        for (String regiao : dicionarioRegioes) {
+            bytes += 40L + 2L * regiao.length();
+        }
+        return bytes;
+    }
+}
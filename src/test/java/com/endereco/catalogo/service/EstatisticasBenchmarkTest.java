@@ -0,0 +1,171 @@
+package com.endereco.catalogo.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara as estatísticas do snapshot em memória com as consultas
+ * GROUP BY equivalentes no banco.
+ *
+ * Popula o H2 com N usuários (propriedade de sistema benchmark.usuarios,
+ * padrão 20000), confere que os dois caminhos produzem o mesmo resultado
+ * e registra no log a mediana do tempo de cada agregação e a memória
+ * estimada do snapshot, extrapolada para um milhão de usuários.
+ * O H2 reaproveita o resultado de consultas idênticas enquanto a tabela
+ * não muda, então os tempos de SQL medidos aqui são o melhor caso.
+ *
+ * Exemplo: mvn test -Dtest=EstatisticasBenchmarkTest -Dbenchmark.usuarios=1000000
+ *
+ * @author Treinamento Spring Boot
+ * @version 1.0
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "catalogo.estatisticas.intervalo-ms=3600000"
+})
+class EstatisticasBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EstatisticasBenchmarkTest.class);
+
+    private static final int REPETICOES = 15;
+
+    private static final String[] REGIOES = {
+            "Campinas - SP", "Rio de Janeiro - RJ", "Belo Horizonte - MG",
+            "Curitiba - PR", "Recife - PE", "Porto Alegre - RS", "Salvador - BA"
+    };
+
+    @Autowired
+    private EstatisticasService estatisticasService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterEach
+    void limpar() {
+        jdbcTemplate.update("delete from usuarios");
+    }
+
+    @Test
+    void compararSnapshotComConsultasSql() {
+        int total = Integer.getInteger("benchmark.usuarios", 20_000);
+        popular(total);
+
+        long inicioCarga = System.nanoTime();
+        estatisticasService.marcarAlteracao();
+        estatisticasService.atualizarSnapshot();
+        double cargaMs = (System.nanoTime() - inicioCarga) / 1e6;
+        UsuarioSnapshot snapshot = estatisticasService.obterSnapshot();
+        assertEquals(total, snapshot.getTotal());
+
+        // Mesmo resultado pelos dois caminhos
+        Map<String, Long> idadesSnapshot = estatisticasService.obterHistogramaIdades(1);
+        Map<String, Long> idadesSql = new HashMap<>();
+        contarIdadesSql().forEach((idade, quantidade) -> idadesSql.put(idade + "-" + idade, quantidade));
+        assertEquals(idadesSql, idadesSnapshot);
+        assertEquals(contarRegioesSql(), estatisticasService.obterContagemPorRegiao());
+
+        double idadesSnapshotMs = medirMediana(() -> estatisticasService.obterHistogramaIdades(10));
+        double idadesSqlMs = medirMediana(this::contarIdadesSql);
+        double regioesSnapshotMs = medirMediana(estatisticasService::obterContagemPorRegiao);
+        double regioesSqlMs = medirMediana(this::contarRegioesSql);
+
+        long bytes = snapshot.estimarBytes();
+        logger.info("Benchmark de estatísticas com {} usuários (carga do snapshot: {} ms)",
+                total, String.format("%.1f", cargaMs));
+        logger.info("Histograma de idades: snapshot {} ms, SQL {} ms",
+                String.format("%.3f", idadesSnapshotMs), String.format("%.3f", idadesSqlMs));
+        logger.info("Contagem por região:  snapshot {} ms, SQL {} ms",
+                String.format("%.3f", regioesSnapshotMs), String.format("%.3f", regioesSqlMs));
+        logger.info("Memória estimada do snapshot: {} bytes ({} bytes por milhão de usuários)",
+                bytes, bytes * 1_000_000L / total);
+    }
+
+    /**
+     * Insere usuários com idades e endereços aleatórios, incluindo
+     * endereços sem região identificável.
+     *
+     * @param total A quantidade de usuários a inserir
+     */
+    private void popular(int total) {
+        Random random = new Random(42);
+        List<Object[]> lote = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            String endereco = switch (random.nextInt(4)) {
+                case 0 -> "Rua " + i + ", " + random.nextInt(1000);
+                case 1 -> null;
+                default -> "Rua " + i + ", " + random.nextInt(1000) + ", "
+                        + REGIOES[random.nextInt(REGIOES.length)];
+            };
+            lote.add(new Object[]{"Usuario " + i, 1 + random.nextInt(99), endereco});
+
+            if (lote.size() == 5_000 || i == total - 1) {
+                jdbcTemplate.batchUpdate("insert into usuarios (nome, idade, endereco) values (?, ?, ?)", lote);
+                lote.clear();
+            }
+        }
+    }
+
+    private Map<Integer, Long> contarIdadesSql() {
+        List<Object[]> linhas = entityManager
+                .createQuery("select u.idade, count(u) from Usuario u group by u.idade", Object[].class)
+                .getResultList();
+        Map<Integer, Long> contagem = new HashMap<>();
+        for (Object[] linha : linhas) {
+            contagem.put((Integer) linha[0], (Long) linha[1]);
+        }
+        return contagem;
+    }
+
+    private Map<String, Long> contarRegioesSql() {
+        List<Object[]> linhas = entityManager
+                .createQuery("select u.endereco, count(u) from Usuario u group by u.endereco", Object[].class)
+                .getResultList();
+        Map<String, Long> contagem = new HashMap<>();
+        for (Object[] linha : linhas) {
+            contagem.merge(EstatisticasService.extrairRegiao((String) linha[0]), (Long) linha[1], Long::sum);
+        }
+        return contagem;
+    }
+
+    /**
+     * Executa a operação algumas vezes para aquecimento e retorna a
+     * mediana do tempo das execuções seguintes.
+     *
+     * @param operacao A operação a medir
+     * @return A mediana em milissegundos
+     */
+    private double medirMediana(Supplier<?> operacao) {
+        for (int i = 0; i < 3; i++) {
+            operacao.get();
+        }
+        long[] tempos = new long[REPETICOES];
+        for (int i = 0; i < REPETICOES; i++) {
+            long inicio = System.nanoTime();
+            operacao.get();
+            tempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tempos);
+        return tempos[REPETICOES / 2] / 1e6;
+    }
+}
@@ -0,0 +1,179 @@
+package com.endereco.catalogo.service;
+
+import com.endereco.catalogo.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do serviço de estatísticas.
+ *
+ * O repositório e o gerenciador de transações são simulados com Mockito,
+ * então os testes exercitam a montagem do snapshot e as agregações
+ * sem subir o contexto do Spring.
+ *
+ * @author Treinamento Spring Boot
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+class EstatisticasServiceTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private EstatisticasService estatisticasService;
+
+    /**
+     * Configura o repositório simulado para devolver as linhas informadas.
+     *
+     * @param linhas As linhas no formato [idade, endereco]
+     */
+    private void carregar(List<Object[]> linhas) {
+        when(usuarioRepository.count()).thenReturn((long) linhas.size());
+        when(usuarioRepository.listarColunasEstatisticas()).thenAnswer(invocacao -> linhas.stream());
+        estatisticasService.atualizarSnapshot();
+    }
+
+    @Test
+    void extrairRegiaoAceitaApenasCidadeUf() {
+        // Escape evita depender da codificação usada na compilação dos testes
+        assertEquals("S\u00e3o Paulo - SP", EstatisticasService.extrairRegiao("Av. Paulista, 1000, S\u00e3o Paulo - SP"));
+        assertEquals("Campinas - SP", EstatisticasService.extrairRegiao("Rua A, 10, Campinas - SP, 13010-000"));
+        assertEquals("Rio de Janeiro - RJ", EstatisticasService.extrairRegiao("Rio de Janeiro  -  RJ"));
+
+        assertEquals(EstatisticasService.REGIAO_NAO_INFORMADA, EstatisticasService.extrairRegiao(null));
+        assertEquals(EstatisticasService.REGIAO_NAO_INFORMADA, EstatisticasService.extrairRegiao(""));
+        assertEquals(EstatisticasService.REGIAO_NAO_INFORMADA, EstatisticasService.extrairRegiao("Rua A"));
+        assertEquals(EstatisticasService.REGIAO_NAO_INFORMADA, EstatisticasService.extrairRegiao("Rua das Flores, 123"));
+        assertEquals(EstatisticasService.REGIAO_NAO_INFORMADA, EstatisticasService.extrairRegiao("Rua das Flores, 123, Apt 101"));
+        assertEquals(EstatisticasService.REGIAO_NAO_INFORMADA, EstatisticasService.extrairRegiao("Rua B, 01310-100"));
+        assertEquals(EstatisticasService.REGIAO_NAO_INFORMADA, EstatisticasService.extrairRegiao("Centro - XX"));
+    }
+
+    @Test
+    void histogramaComSnapshotVazioRetornaMapaVazio() {
+        assertTrue(estatisticasService.obterHistogramaIdades(10).isEmpty());
+        assertTrue(estatisticasService.obterContagemPorRegiao().isEmpty());
+        assertNull(estatisticasService.obterSnapshot().getGeradoEm());
+    }
+
+    @Test
+    void histogramaComFaixaDeUmAno() {
+        carregar(List.of(
+                new Object[]{30, "Rua A"},
+                new Object[]{30, "Rua B"},
+                new Object[]{42, null}));
+
+        Map<String, Long> histograma = estatisticasService.obterHistogramaIdades(1);
+
+        assertEquals(Map.of("30-30", 2L, "42-42", 1L), histograma);
+    }
+
+    @Test
+    void histogramaComFaixaMaiorQueAMaiorIdade() {
+        carregar(List.of(
+                new Object[]{1, "Rua A"},
+                new Object[]{99, "Rua B"}));
+
+        Map<String, Long> histograma = estatisticasService.obterHistogramaIdades(150);
+
+        assertEquals(Map.of("0-149", 2L), histograma);
+    }
+
+    @Test
+    void histogramaComFaixaInvalidaLancaExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> estatisticasService.obterHistogramaIdades(0));
+    }
+
+    @Test
+    void contagemPorRegiaoEmOrdemDecrescente() {
+        carregar(List.of(
+                new Object[]{20, "Rua A, 1, Recife - PE"},
+                new Object[]{21, "Av. Paulista, 1000, Campinas - SP"},
+                new Object[]{22, "Rua B, 2, Campinas - SP"},
+                new Object[]{23, "Rua das Flores, 123"}));
+
+        Map<String, Long> contagem = estatisticasService.obterContagemPorRegiao();
+
+        assertEquals(List.of("Campinas - SP", "Recife - PE", EstatisticasService.REGIAO_NAO_INFORMADA),
+                new ArrayList<>(contagem.keySet()));
+        assertEquals(2L, contagem.get("Campinas - SP"));
+        assertEquals(3, estatisticasService.obterSnapshot().getTotalRegioes());
+    }
+
+    @Test
+    void contagemTaskDivideEJuntaAcimaDoLimite() {
+        int total = EstatisticasService.ContagemTask.LIMITE * 3 + 17;
+        int[] coluna = new int[total];
+        long[] esperado = new long[100];
+        Random random = new Random(42);
+        for (int i = 0; i < total; i++) {
+            coluna[i] = random.nextInt(100);
+            esperado[coluna[i]]++;
+        }
+
+        long[] contagem = new EstatisticasService.ContagemTask(coluna, 0, total, 100).invoke();
+
+        assertArrayEquals(esperado, contagem);
+    }
+
+    @Test
+    void snapshotCresceQuandoHaMaisLinhasQueAContagem() {
+        List<Object[]> linhas = List.of(
+                new Object[]{10, "Rua A"},
+                new Object[]{20, "Rua B"},
+                new Object[]{30, "Rua C"});
+        when(usuarioRepository.count()).thenReturn(1L);
+        when(usuarioRepository.listarColunasEstatisticas()).thenAnswer(invocacao -> linhas.stream());
+
+        estatisticasService.atualizarSnapshot();
+
+        assertEquals(3, estatisticasService.obterSnapshot().getTotal());
+        assertEquals(30, estatisticasService.obterSnapshot().getMaiorIdade());
+    }
+
+    @Test
+    void atualizacaoIgnoradaSemAlteracoes() {
+        carregar(List.<Object[]>of(new Object[]{30, "Rua A"}));
+        UsuarioSnapshot primeiro = estatisticasService.obterSnapshot();
+
+        estatisticasService.atualizarSnapshot();
+        assertSame(primeiro, estatisticasService.obterSnapshot());
+        verify(usuarioRepository, times(1)).listarColunasEstatisticas();
+
+        estatisticasService.marcarAlteracao();
+        estatisticasService.atualizarSnapshot();
+        assertNotSame(primeiro, estatisticasService.obterSnapshot());
+        verify(usuarioRepository, times(2)).listarColunasEstatisticas();
+    }
+
+    @Test
+    void falhaNaAtualizacaoMantemSnapshotAnterior() {
+        carregar(List.<Object[]>of(new Object[]{30, "Rua A"}));
+        UsuarioSnapshot anterior = estatisticasService.obterSnapshot();
+        when(usuarioRepository.listarColunasEstatisticas()).thenReturn(Stream.<Object[]>of(new Object[]{"x", null}));
+
+        estatisticasService.marcarAlteracao();
+        estatisticasService.atualizarSnapshot();
+
+        assertSame(anterior, estatisticasService.obterSnapshot());
+        assertNotNull(estatisticasService.obterUltimaFalha());
+        assertTrue(estatisticasService.possuiAlteracoesPendentes());
+    }
+}